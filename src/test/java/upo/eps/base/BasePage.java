@@ -1,6 +1,7 @@
 package upo.eps.base;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.OutputType;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -99,6 +100,13 @@ public abstract class BasePage {
         return driver.findElements(locator);
     }
     
+    /**
+     * Take a PNG screenshot of just the element, after waiting for it to be visible.
+     */
+    protected byte[] getElementScreenshot(By locator) {
+        return waitForElement(locator).getScreenshotAs(OutputType.BYTES);
+    }
+    
     /**
      * Wait for page title to contain specific text.
      */
@@ -2,14 +2,18 @@ package upo.eps.base;
 
 import org.openqa.selenium.By;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.util.List;
+
 /**
  * Common test class containing tests that apply to all pages.
  * All page-specific test classes should extend this class to inherit common tests.
  * 
  * Common tests include:
- * - Logo presence and visibility
+ * - Logo presence, visibility and visual match against reference hashes
  * - Page load verification
  * - Title verification
  * - Footer presence
@@ -34,6 +38,22 @@ public abstract class CommonPageTest extends BaseTest {
         return By.cssSelector("footer, #footer, .footer");
     }
     
+    /**
+     * Override this to look up logo reference hashes under a different key.
+     * Defaults to the test class simple name, falling back to "default".
+     */
+    protected String getLogoReferenceKey() {
+        return getClass().getSimpleName();
+    }
+    
+    /**
+     * Maximum Hamming distance between the logo hash and a reference hash.
+     * Can be overridden with the system property "logo.hash.threshold".
+     */
+    protected int getLogoHashThreshold() {
+        return Integer.parseInt(System.getProperty("logo.hash.threshold", "10"));
+    }
+    
     /**
      * Override this to provide the main menu locator for the specific page.
      * Default locator looks for a nav element with class 'main-menu'.
@@ -67,6 +87,31 @@ public abstract class CommonPageTest extends BaseTest {
                 "Logo should be visible on the page");
     }
     
+    /**
+     * Test that the logo shows the expected image, not just any visible image.
+     * Compares a perceptual hash of the logo screenshot with the reference hashes
+     * in logo-hashes.properties; skipped (printing the hash) if none are recorded.
+     */
+    @Test(groups = {"visual", "common"}, priority = 9)
+    public void testLogoMatchesReference() throws IOException {
+        BasePage page = createPageObject();
+        long hash = ImageHash.dHash(page.getElementScreenshot(getLogoLocator()));
+        
+        List<Long> references = ReferenceHashes.logo().forKey(getLogoReferenceKey());
+        if (references.isEmpty()) {
+            throw new SkipException("No logo reference hash for '" + getLogoReferenceKey()
+                    + "'; computed hash is " + ImageHash.toHex(hash));
+        }
+        
+        int bestDistance = Integer.MAX_VALUE;
+        for (long reference : references) {
+            bestDistance = Math.min(bestDistance, ImageHash.distance(hash, reference));
+        }
+        Assert.assertTrue(bestDistance <= getLogoHashThreshold(),
+                "Logo does not match the reference image: hash " + ImageHash.toHex(hash)
+                + " differs by " + bestDistance + " bits (threshold " + getLogoHashThreshold() + ")");
+    }
+    
     /**
      * Test that the page loads successfully.
      * Verifies that the page has a non-empty title.
@@ -0,0 +1,139 @@
+package upo.eps.base;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Perceptual image hashing for visual checks (e.g. the site logo).
+ *
+ * Uses a 64-bit difference hash (dHash): the image is reduced to a 9x8 grid
+ * of average luminance and each bit records whether a cell is darker than its
+ * right-hand neighbour. Scaling, compression and small colour shifts barely
+ * change the hash, while a different or broken image changes many bits.
+ *
+ * Pixels are read one row at a time into a reused int[] and accumulated into
+ * primitive arrays, so hashing a logo-sized image takes well under a millisecond
+ * (decoding the screenshot PNG costs more than the hash itself).
+ */
+public final class ImageHash {
+
+    private static final int GRID_WIDTH = 9;
+    private static final int GRID_HEIGHT = 8;
+
+    private ImageHash() {
+    }
+
+    /**
+     * Compute the dHash of PNG (or any ImageIO-readable) bytes, e.g. an element screenshot.
+     */
+    public static long dHash(byte[] imageBytes) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+        if (image == null) {
+            throw new IOException("Unsupported or corrupt image data (" + imageBytes.length + " bytes)");
+        }
+        return dHash(image);
+    }
+
+    /**
+     * Compute the dHash of an image. The image must be at least 9x8 pixels.
+     */
+    public static long dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width < GRID_WIDTH || height < GRID_HEIGHT) {
+            throw new IllegalArgumentException("Image too small to hash: " + width + "x" + height);
+        }
+
+        long[] luminance = new long[GRID_WIDTH * GRID_HEIGHT];
+        int[] pixelCount = new int[GRID_WIDTH * GRID_HEIGHT];
+        int[] cellOfColumn = new int[width];
+        for (int x = 0; x < width; x++) {
+            cellOfColumn[x] = (int) ((long) x * GRID_WIDTH / width);
+        }
+
+        // Standard RGB(A) layouts expose R, G, B as the first raster bands: read samples
+        // directly and skip the per-pixel ColorModel conversion done by getRGB()
+        int bands = rgbBands(image);
+        int[] row = new int[width * Math.max(bands, 1)];
+        Raster raster = image.getRaster();
+        for (int y = 0; y < height; y++) {
+            int cellRow = (int) ((long) y * GRID_HEIGHT / height) * GRID_WIDTH;
+            if (bands > 0) {
+                raster.getPixels(0, y, width, 1, row);
+                for (int x = 0, i = 0; x < width; x++, i += bands) {
+                    int cell = cellRow + cellOfColumn[x];
+                    luminance[cell] += luma(row[i], row[i + 1], row[i + 2]);
+                    pixelCount[cell]++;
+                }
+            } else {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0; x < width; x++) {
+                    int rgb = row[x];
+                    int cell = cellRow + cellOfColumn[x];
+                    luminance[cell] += luma((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+                    pixelCount[cell]++;
+                }
+            }
+        }
+
+        long hash = 0L;
+        for (int gy = 0; gy < GRID_HEIGHT; gy++) {
+            for (int gx = 0; gx < GRID_WIDTH - 1; gx++) {
+                int left = gy * GRID_WIDTH + gx;
+                int right = left + 1;
+                // Compare cell averages without dividing: a/n < b/m  <=>  a*m < b*n
+                hash <<= 1;
+                if (luminance[left] * pixelCount[right] < luminance[right] * pixelCount[left]) {
+                    hash |= 1L;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Number of raster bands per pixel if the first three are R, G, B; 0 otherwise.
+     */
+    private static int rgbBands(BufferedImage image) {
+        switch (image.getType()) {
+            case BufferedImage.TYPE_INT_RGB:
+            case BufferedImage.TYPE_INT_ARGB:
+            case BufferedImage.TYPE_3BYTE_BGR:
+            case BufferedImage.TYPE_4BYTE_ABGR:
+                return image.getRaster().getNumBands();
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * ITU-R BT.601 luma, scaled by 1000 to stay in integer arithmetic.
+     */
+    private static int luma(int red, int green, int blue) {
+        return 299 * red + 587 * green + 114 * blue;
+    }
+
+    /**
+     * Number of differing bits between two hashes (0 = identical, 64 = opposite).
+     */
+    public static int distance(long hash1, long hash2) {
+        return Long.bitCount(hash1 ^ hash2);
+    }
+
+    /**
+     * Format a hash as 16 hex digits, the form stored in reference files.
+     */
+    public static String toHex(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    /**
+     * Parse a hash written by {@link #toHex(long)}.
+     */
+    public static long fromHex(String hex) {
+        return Long.parseUnsignedLong(hex.trim(), 16);
+    }
+}
@@ -0,0 +1,72 @@
+package upo.eps.base;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Unit tests for the perceptual hash used by the logo visual check.
+ * Uses generated images, so no browser is needed.
+ */
+public class ImageHashTest {
+
+    /**
+     * Simple synthetic "logo": a dark bar and a circle on a white background.
+     */
+    private static BufferedImage logo(int width, int height, Color ink) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(ink);
+        g.fillRect(width / 10, height / 4, width / 3, height / 2);
+        g.fillOval(width / 2, height / 8, width / 3, height * 3 / 4);
+        g.dispose();
+        return image;
+    }
+
+    @Test(groups = {"visual"})
+    public void testSameImageHasZeroDistance() {
+        long hash = ImageHash.dHash(logo(300, 100, Color.BLUE));
+        Assert.assertEquals(ImageHash.distance(hash, ImageHash.dHash(logo(300, 100, Color.BLUE))), 0);
+    }
+
+    @Test(groups = {"visual"})
+    public void testRescaledImageStaysWithinThreshold() {
+        long original = ImageHash.dHash(logo(300, 100, Color.BLUE));
+        long scaled = ImageHash.dHash(logo(180, 60, new Color(20, 20, 230)));
+        Assert.assertTrue(ImageHash.distance(original, scaled) <= 10,
+                "Rescaled logo should hash almost the same");
+    }
+
+    @Test(groups = {"visual"})
+    public void testDifferentImageExceedsThreshold() {
+        long original = ImageHash.dHash(logo(300, 100, Color.BLUE));
+        BufferedImage broken = new BufferedImage(300, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = broken.createGraphics();
+        g.setColor(Color.LIGHT_GRAY);
+        g.fillRect(0, 0, 300, 100);
+        g.setColor(Color.DARK_GRAY);
+        g.drawRect(2, 2, 20, 20);
+        g.dispose();
+        Assert.assertTrue(ImageHash.distance(original, ImageHash.dHash(broken)) > 10,
+                "A broken-image placeholder must not match the logo");
+    }
+
+    @Test(groups = {"visual"})
+    public void testPngBytesAndHexRoundTrip() throws IOException {
+        BufferedImage image = logo(300, 100, Color.BLUE);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        long hash = ImageHash.dHash(png.toByteArray());
+        Assert.assertEquals(hash, ImageHash.dHash(image));
+        Assert.assertEquals(ImageHash.fromHex(ImageHash.toHex(hash)), hash);
+    }
+}
@@ -0,0 +1,72 @@
+package upo.eps.base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Reference image hashes loaded from a properties file on the test classpath.
+ *
+ * Each key maps to one or more hex hashes separated by commas, so a page can
+ * accept several variants of the same image. The key "default" applies to
+ * every page without its own entry.
+ */
+public final class ReferenceHashes {
+
+    public static final String DEFAULT_KEY = "default";
+
+    private static final String LOGO_RESOURCE = "logo-hashes.properties";
+
+    private final Properties hashes;
+
+    private ReferenceHashes(Properties hashes) {
+        this.hashes = hashes;
+    }
+
+    /**
+     * Reference hashes of the site logo, loaded once and shared by parallel tests.
+     */
+    public static ReferenceHashes logo() {
+        return LogoHolder.INSTANCE;
+    }
+
+    /**
+     * Load reference hashes from a classpath resource; a missing resource yields no hashes.
+     */
+    public static ReferenceHashes load(String resource) {
+        Properties properties = new Properties();
+        try (InputStream in = ReferenceHashes.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read reference hashes from " + resource, e);
+        }
+        return new ReferenceHashes(properties);
+    }
+
+    /**
+     * Hashes for the given key, falling back to the "default" entry.
+     */
+    public List<Long> forKey(String key) {
+        String value = hashes.getProperty(key, hashes.getProperty(DEFAULT_KEY, ""));
+        List<Long> result = new ArrayList<>();
+        for (String hex : value.split(",")) {
+            if (!hex.isBlank()) {
+                result.add(ImageHash.fromHex(hex));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Lazy, thread-safe initialisation of the logo reference file.
+     */
+    private static final class LogoHolder {
+        private static final ReferenceHashes INSTANCE = load(LOGO_RESOURCE);
+    }
+}
@@ -0,0 +1,174 @@
+package upo.eps.selection;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal view of a compiled class, read straight from its constant pool.
+ * Only the data needed to build the test dependency map is kept:
+ * class name, superclass, abstract flag and every class name referenced.
+ */
+public final class ClassFileInfo {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final String TESTNG_TEST_DESCRIPTOR = "Lorg/testng/annotations/Test;";
+
+    // Object types inside field, method and generic signature descriptors
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w/$]+)[;<]");
+
+    private final String name;
+    private final String superName;
+    private final boolean concrete;
+    private final boolean usesTestAnnotation;
+    private final Set<String> references;
+
+    private ClassFileInfo(String name, String superName, boolean concrete,
+            boolean usesTestAnnotation, Set<String> references) {
+        this.name = name;
+        this.superName = superName;
+        this.concrete = concrete;
+        this.usesTestAnnotation = usesTestAnnotation;
+        this.references = Collections.unmodifiableSet(references);
+    }
+
+    /**
+     * Parse the constant pool and header of a class file.
+     * The stream is consumed up to the super_class entry and is not closed.
+     */
+    public static ClassFileInfo read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor_version
+        in.readUnsignedShort(); // major_version
+
+        int poolSize = in.readUnsignedShort();
+        String[] utf8 = new String[poolSize];
+        int[] classIndex = new int[poolSize];
+        // Utf8 entries used as string literals are data, not type descriptors
+        boolean[] literal = new boolean[poolSize];
+
+        for (int i = 1; i < poolSize; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classIndex[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                    literal[in.readUnsignedShort()] = true;
+                    break;
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipBytes(8);
+                    i++; // eight-byte constants take two pool slots
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+
+        int accessFlags = in.readUnsignedShort();
+        String name = utf8[classIndex[in.readUnsignedShort()]];
+        int superIndex = in.readUnsignedShort();
+        String superName = superIndex == 0 ? null : utf8[classIndex[superIndex]];
+
+        Set<String> references = new HashSet<>();
+        boolean usesTestAnnotation = false;
+        for (int i = 1; i < poolSize; i++) {
+            if (classIndex[i] != 0) {
+                addClassName(references, utf8[classIndex[i]]);
+            } else if (utf8[i] != null && !literal[i]) {
+                if (utf8[i].equals(TESTNG_TEST_DESCRIPTOR)) {
+                    usesTestAnnotation = true;
+                }
+                Matcher matcher = DESCRIPTOR_TYPE.matcher(utf8[i]);
+                while (matcher.find()) {
+                    references.add(matcher.group(1));
+                }
+            }
+        }
+        references.remove(name);
+
+        boolean concrete = (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0;
+        return new ClassFileInfo(name, superName, concrete, usesTestAnnotation, references);
+    }
+
+    /**
+     * Add a CONSTANT_Class name, unwrapping array types such as "[Lupo/eps/X;".
+     */
+    private static void addClassName(Set<String> references, String className) {
+        if (className.startsWith("[")) {
+            Matcher matcher = DESCRIPTOR_TYPE.matcher(className);
+            if (matcher.find()) {
+                references.add(matcher.group(1));
+            }
+        } else {
+            references.add(className);
+        }
+    }
+
+    /**
+     * Internal name of the class, e.g. "upo/eps/pages/EpsHomePage".
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Internal name of the superclass, or null for java/lang/Object.
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    /**
+     * Check if the class can be instantiated (neither abstract nor an interface).
+     */
+    public boolean isConcrete() {
+        return concrete;
+    }
+
+    /**
+     * Check if the class itself declares TestNG @Test annotations.
+     */
+    public boolean usesTestAnnotation() {
+        return usesTestAnnotation;
+    }
+
+    /**
+     * Internal names of every class referenced from this class file.
+     */
+    public Set<String> getReferences() {
+        return references;
+    }
+}
@@ -0,0 +1,167 @@
+package upo.eps.selection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Dependency map from TestNG test classes to every project class they use,
+ * built from compiled bytecode (target/classes and target/test-classes).
+ *
+ * Nested and anonymous classes are folded into their top-level class,
+ * so every entry matches exactly one .java source file.
+ */
+public class DependencyMap {
+
+    private final Map<String, ClassFileInfo> classes = new HashMap<>();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Set<String> testClasses = new TreeSet<>();
+
+    /**
+     * Build the map by scanning all .class files under the given directories.
+     * Directories that do not exist are skipped.
+     */
+    public static DependencyMap fromClassDirectories(Path... directories) throws IOException {
+        DependencyMap map = new DependencyMap();
+        for (Path directory : directories) {
+            if (!Files.isDirectory(directory)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".class"))::iterator) {
+                    if (file.getFileName().toString().equals("module-info.class")) {
+                        continue;
+                    }
+                    try (InputStream in = Files.newInputStream(file)) {
+                        map.add(ClassFileInfo.read(in));
+                    }
+                }
+            }
+        }
+        map.link();
+        return map;
+    }
+
+    /**
+     * Register a parsed class. Call {@link #link()} once all classes are added.
+     */
+    void add(ClassFileInfo info) {
+        classes.put(info.getName(), info);
+    }
+
+    /**
+     * Resolve project-internal references and detect runnable test classes.
+     */
+    void link() {
+        for (ClassFileInfo info : classes.values()) {
+            String owner = topLevel(info.getName());
+            Set<String> deps = dependencies.computeIfAbsent(owner, k -> new HashSet<>());
+            for (String reference : info.getReferences()) {
+                if (classes.containsKey(reference)) {
+                    deps.add(topLevel(reference));
+                }
+            }
+            deps.remove(owner);
+
+            if (info.isConcrete() && !isNested(info.getName()) && inheritsTestAnnotations(info)) {
+                testClasses.add(info.getName());
+            }
+        }
+    }
+
+    /**
+     * Check if the class or any project superclass declares @Test methods.
+     * TestNG runs inherited test methods, so CommonPageTest subclasses count.
+     */
+    private boolean inheritsTestAnnotations(ClassFileInfo info) {
+        for (ClassFileInfo current = info; current != null; current = classes.get(current.getSuperName())) {
+            if (current.usesTestAnnotation()) {
+                return true;
+            }
+            if (current.getSuperName() == null) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a top-level class (internal name) is known to the map.
+     */
+    public boolean contains(String className) {
+        return dependencies.containsKey(className);
+    }
+
+    /**
+     * Internal names of all runnable test classes, sorted.
+     */
+    public Set<String> getTestClasses() {
+        return testClasses;
+    }
+
+    /**
+     * All project classes a test class reaches, directly or transitively.
+     */
+    public Set<String> transitiveDependencies(String className) {
+        Set<String> visited = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(className);
+        while (!pending.isEmpty()) {
+            for (String dep : dependencies.getOrDefault(pending.pop(), Set.of())) {
+                if (visited.add(dep)) {
+                    pending.push(dep);
+                }
+            }
+        }
+        visited.remove(className);
+        return visited;
+    }
+
+    /**
+     * Test classes that are, or transitively depend on, the given top-level class.
+     */
+    public Set<String> testsAffectedBy(String className) {
+        Set<String> affected = new TreeSet<>();
+        for (String test : testClasses) {
+            if (test.equals(className) || transitiveDependencies(test).contains(className)) {
+                affected.add(test);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Test classes in a TestNG package entry, e.g. "upo.eps.tests" or "upo.eps.*".
+     */
+    public Set<String> testsInPackage(String packageName) {
+        boolean recursive = packageName.endsWith(".*");
+        String prefix = (recursive ? packageName.substring(0, packageName.length() - 2) : packageName)
+                .replace('.', '/') + "/";
+        Set<String> matches = new TreeSet<>();
+        for (String test : testClasses) {
+            if (test.startsWith(prefix)
+                    && (recursive || test.indexOf('/', prefix.length()) < 0)) {
+                matches.add(test);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean isNested(String className) {
+        return className.indexOf('$', className.lastIndexOf('/') + 1) >= 0;
+    }
+
+    private static String topLevel(String className) {
+        int dollar = className.indexOf('$', className.lastIndexOf('/') + 1);
+        return dollar < 0 ? className : className.substring(0, dollar);
+    }
+}
@@ -0,0 +1,76 @@
+package upo.eps.selection;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Result of change-based test selection: which TestNG classes must run
+ * for a given diff, or whether the full suite is required.
+ */
+public final class TestSelection {
+
+    /**
+     * How the pipeline should run the suite.
+     */
+    public enum Mode {
+        /** Run every test (safe fallback). */
+        FULL,
+        /** Run only the selected classes. */
+        SELECTIVE,
+        /** Nothing in the diff can affect a test. */
+        NONE
+    }
+
+    private final Mode mode;
+    private final Set<String> testClasses;
+    private final String reason;
+
+    private TestSelection(Mode mode, Set<String> testClasses, String reason) {
+        this.mode = mode;
+        this.testClasses = Collections.unmodifiableSet(new TreeSet<>(testClasses));
+        this.reason = reason;
+    }
+
+    /**
+     * Selection that runs the whole suite.
+     */
+    public static TestSelection full(String reason) {
+        return new TestSelection(Mode.FULL, Set.of(), reason);
+    }
+
+    /**
+     * Selection that runs the given classes; an empty class set means no tests.
+     */
+    public static TestSelection of(Set<String> testClasses, String reason) {
+        Mode mode = testClasses.isEmpty() ? Mode.NONE : Mode.SELECTIVE;
+        return new TestSelection(mode, testClasses, reason);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Fully qualified names of the classes to run (empty unless SELECTIVE).
+     */
+    public Set<String> getTestClasses() {
+        return testClasses;
+    }
+
+    /**
+     * Short human-readable explanation of the decision.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Render as key=value lines, ready to append to $GITHUB_OUTPUT.
+     */
+    public String toOutputLines() {
+        return "mode=" + mode.name().toLowerCase() + "\n"
+                + "tests=" + String.join(",", testClasses) + "\n"
+                + "reason=" + reason.replace('\n', ' ') + "\n";
+    }
+}
@@ -0,0 +1,216 @@
+package upo.eps.selection;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Change-based test selection for pull requests.
+ *
+ * Maps each changed file of a diff to the TestNG classes that can observe it:
+ * - Java sources: every test class that transitively uses the changed class
+ * - Suite XMLs: the test classes the suite names or whose packages it lists.
+ *   Surefire is not configured with suiteXmlFiles, so CI never applies a suite's
+ *   group filters; those classes are run whole, as the pipeline's full run does
+ * - Documentation: nothing
+ * Changes to base classes (BasePage, BaseTest, CommonPageTest), to the selector
+ * itself, the build, the pipeline, suites naming unknown classes or anything
+ * not understood fall back to the full suite.
+ *
+ * Usage (from the project root, after mvn test-compile):
+ * <pre>
+ * git diff --name-only BASE...HEAD | java -cp target/test-classes upo.eps.selection.TestSelector
+ * </pre>
+ */
+public class TestSelector {
+
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java/", "src/test/java/");
+    private static final String TEST_RESOURCES = "src/test/resources/";
+
+    // Every test inherits from upo.eps.base, and upo.eps.selection decides what runs,
+    // so a change in either can affect the whole suite
+    private static final List<String> FULL_SUITE_PACKAGES = List.of("upo/eps/base/", "upo/eps/selection/");
+
+    private final DependencyMap dependencyMap;
+    private final Path projectRoot;
+
+    public TestSelector(DependencyMap dependencyMap, Path projectRoot) {
+        this.dependencyMap = dependencyMap;
+        this.projectRoot = projectRoot;
+    }
+
+    /**
+     * Compute the minimal selection for a list of changed paths relative to the project root.
+     */
+    public TestSelection select(Collection<String> changedPaths) {
+        Set<String> classes = new TreeSet<>();
+
+        for (String rawPath : changedPaths) {
+            String path = rawPath.trim().replace('\\', '/');
+            if (path.isEmpty() || isDocumentation(path)) {
+                continue;
+            }
+
+            String className = toClassName(path);
+            if (className != null) {
+                if (affectsWholeSuite(className)) {
+                    return TestSelection.full("base or selector class changed: " + path);
+                }
+                if (!dependencyMap.contains(className)) {
+                    return TestSelection.full("no compiled class for " + path);
+                }
+                classes.addAll(dependencyMap.testsAffectedBy(className));
+                continue;
+            }
+
+            if (path.startsWith(TEST_RESOURCES) && path.endsWith(".xml")) {
+                Set<String> suiteClasses;
+                try {
+                    suiteClasses = suiteClasses(projectRoot.resolve(path));
+                } catch (IOException | SAXException | ParserConfigurationException e) {
+                    return TestSelection.full("unreadable suite " + path + ": " + e.getMessage());
+                }
+                if (suiteClasses != null) {
+                    for (String suiteClass : suiteClasses) {
+                        if (!dependencyMap.getTestClasses().contains(suiteClass)) {
+                            return TestSelection.full("suite " + path + " names unknown test class "
+                                    + suiteClass.replace('/', '.'));
+                        }
+                    }
+                    classes.addAll(suiteClasses);
+                    continue;
+                }
+            }
+
+            return TestSelection.full("unmapped change: " + path);
+        }
+
+        String reason = classes.isEmpty()
+                ? "no test depends on the changed files"
+                : classes.size() + " of " + dependencyMap.getTestClasses().size() + " test classes affected";
+        return TestSelection.of(toQualifiedNames(classes), reason);
+    }
+
+    /**
+     * Internal names of the test classes a TestNG suite file names or lists by package.
+     * Returns null if the file is not a suite the selector understands.
+     */
+    private Set<String> suiteClasses(Path suiteFile)
+            throws IOException, SAXException, ParserConfigurationException {
+        if (!Files.isRegularFile(suiteFile)) {
+            return null;
+        }
+        Document document = newDocumentBuilder().parse(suiteFile.toFile());
+        Element suite = document.getDocumentElement();
+        if (!"suite".equals(suite.getTagName()) || suite.getElementsByTagName("suite-file").getLength() > 0) {
+            return null;
+        }
+
+        Set<String> classes = new TreeSet<>();
+        for (String name : attributeValues(suite, "class")) {
+            classes.add(name.replace('.', '/'));
+        }
+        for (String name : attributeValues(suite, "package")) {
+            classes.addAll(dependencyMap.testsInPackage(name));
+        }
+        return classes;
+    }
+
+    /**
+     * Values of the "name" attribute of all descendant elements with the given tag.
+     */
+    private static List<String> attributeValues(Element parent, String tagName) {
+        List<String> values = new ArrayList<>();
+        NodeList nodes = parent.getElementsByTagName(tagName);
+        for (int i = 0; i < nodes.getLength(); i++) {
+            String name = ((Element) nodes.item(i)).getAttribute("name");
+            if (!name.isEmpty()) {
+                values.add(name);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * XML parser that never fetches the remote TestNG DTD nor expands external entities.
+     */
+    private static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        return factory.newDocumentBuilder();
+    }
+
+    private static boolean isDocumentation(String path) {
+        return path.endsWith(".md") || path.startsWith(".vscode/") || path.equals(".gitignore");
+    }
+
+    private static boolean affectsWholeSuite(String className) {
+        return FULL_SUITE_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+
+    /**
+     * Internal class name for a Java source path, or null if the path is not a Java source.
+     */
+    private static String toClassName(String path) {
+        if (!path.endsWith(".java")) {
+            return null;
+        }
+        for (String root : SOURCE_ROOTS) {
+            if (path.startsWith(root)) {
+                return path.substring(root.length(), path.length() - ".java".length());
+            }
+        }
+        return null;
+    }
+
+    private static Set<String> toQualifiedNames(Set<String> internalNames) {
+        Set<String> names = new TreeSet<>();
+        for (String internalName : internalNames) {
+            names.add(internalName.replace('/', '.'));
+        }
+        return names;
+    }
+
+    /**
+     * Print the selection for the changed paths given as arguments, or read from stdin.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> changedPaths = new ArrayList<>(Arrays.asList(args));
+        if (changedPaths.isEmpty()) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                changedPaths.add(line);
+            }
+        }
+
+        Path root = Paths.get("").toAbsolutePath();
+        DependencyMap map = DependencyMap.fromClassDirectories(
+                root.resolve("target/classes"), root.resolve("target/test-classes"));
+        System.out.print(new TestSelector(map, root).select(changedPaths).toOutputLines());
+    }
+}
@@ -0,0 +1,89 @@
+package upo.eps.selection;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the selector against this project's own compiled test classes.
+ * Needs no browser, so it runs as a plain unit test.
+ */
+public class TestSelectorTest {
+
+    private TestSelector selector;
+
+    @BeforeClass(alwaysRun = true)
+    public void buildDependencyMap() throws IOException {
+        Path root = Paths.get("").toAbsolutePath();
+        DependencyMap map = DependencyMap.fromClassDirectories(
+                root.resolve("target/classes"), root.resolve("target/test-classes"));
+        selector = new TestSelector(map, root);
+    }
+
+    @Test(groups = {"selection"})
+    public void testPageObjectChangeSelectsOnlyItsTests() {
+        TestSelection selection = selector.select(List.of("src/test/java/upo/eps/pages/EpsHomePage.java"));
+        Assert.assertEquals(selection.getMode(), TestSelection.Mode.SELECTIVE);
+        Assert.assertTrue(selection.getTestClasses().contains("upo.eps.tests.EpsHomePageTest"));
+        Assert.assertFalse(selection.getTestClasses().contains("upo.eps.tests.LogoTestRefactored"),
+                "LogoTestRefactored does not use EpsHomePage");
+    }
+
+    @Test(groups = {"selection"})
+    public void testBaseClassChangeFallsBackToFullSuite() {
+        for (String base : List.of("BasePage", "BaseTest", "CommonPageTest")) {
+            TestSelection selection = selector.select(List.of("src/test/java/upo/eps/base/" + base + ".java"));
+            Assert.assertEquals(selection.getMode(), TestSelection.Mode.FULL, base + " should trigger the full suite");
+        }
+    }
+
+    @Test(groups = {"selection"})
+    public void testSelectorChangeFallsBackToFullSuite() {
+        TestSelection selection = selector.select(List.of("src/test/java/upo/eps/selection/DependencyMap.java"));
+        Assert.assertEquals(selection.getMode(), TestSelection.Mode.FULL,
+                "The selector must not decide which tests gate its own changes");
+    }
+
+    @Test(groups = {"selection"})
+    public void testSuiteChangeSelectsItsClasses() {
+        TestSelection selection = selector.select(List.of("src/test/resources/testng.xml"));
+        Assert.assertEquals(selection.getMode(), TestSelection.Mode.SELECTIVE);
+        Assert.assertEquals(selection.getTestClasses(),
+                Set.of("upo.eps.tests.EpsHomePageTest", "upo.eps.tests.ExamplePageTest",
+                        "upo.eps.tests.LogoTestRefactored"));
+    }
+
+    @Test(groups = {"selection"})
+    public void testSuiteWithUnknownClassFallsBackToFullSuite() throws IOException {
+        Path root = Files.createTempDirectory("selector");
+        Path suite = root.resolve("src/test/resources/typo-suite.xml");
+        Files.createDirectories(suite.getParent());
+        Files.writeString(suite, "<suite name=\"Typo\"><test name=\"T\"><classes>"
+                + "<class name=\"upo.eps.tests.HomTest\"/></classes></test></suite>");
+
+        Path projectRoot = Paths.get("").toAbsolutePath();
+        DependencyMap map = DependencyMap.fromClassDirectories(
+                projectRoot.resolve("target/classes"), projectRoot.resolve("target/test-classes"));
+        TestSelection selection = new TestSelector(map, root).select(List.of("src/test/resources/typo-suite.xml"));
+        Assert.assertEquals(selection.getMode(), TestSelection.Mode.FULL);
+    }
+
+    @Test(groups = {"selection"})
+    public void testDocumentationChangeRunsNothing() {
+        TestSelection selection = selector.select(List.of("README.md", "COMMON_TESTS_GUIDE.md"));
+        Assert.assertEquals(selection.getMode(), TestSelection.Mode.NONE);
+    }
+
+    @Test(groups = {"selection"})
+    public void testUnknownChangeFallsBackToFullSuite() {
+        TestSelection selection = selector.select(List.of("pom.xml"));
+        Assert.assertEquals(selection.getMode(), TestSelection.Mode.FULL);
+    }
+}